@@ -0,0 +1,182 @@
+package bench;
+
+import models.ParkingSlot;
+import services.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-memory benchmark comparing allocation strategies under concurrent gates.
+ * Each gate snapshots the free slots, ranks them and claims with a
+ * compare-and-set, mirroring the conditional UPDATE in ParkingManager.
+ * A failed compare-and-set is counted as a claim conflict. Every claim
+ * attempt first waits claimDelayMicros to stand in for the database round
+ * trip between the SELECT and the UPDATE, which is the window gates race in.
+ *
+ * Usage: java -cp bin bench.SlotAllocationBenchmark [gates] [floors] [slotsPerFloor] [seconds] [claimDelayMicros] [runs]
+ */
+public class SlotAllocationBenchmark {
+    private static final double TARGET_OCCUPANCY = 0.7;
+
+    private final List<ParkingSlot> slots = new ArrayList<>();
+    private final AtomicBoolean[] occupied;
+    private final AtomicInteger occupiedCount = new AtomicInteger();
+
+    public SlotAllocationBenchmark(int floors, int slotsPerFloor) {
+        Random random = new Random(42);
+        for (int floor = 1; floor <= floors; floor++) {
+            for (int i = 0; i < slotsPerFloor; i++) {
+                int slotId = slots.size();
+                slots.add(new ParkingSlot(slotId, "F" + floor + "-" + i,
+                                          5 + random.nextInt(40), false, floor, 1));
+            }
+        }
+        occupied = new AtomicBoolean[slots.size()];
+        for (int i = 0; i < occupied.length; i++) {
+            occupied[i] = new AtomicBoolean(false);
+        }
+    }
+
+    private List<ParkingSlot> snapshotFreeSlots() {
+        List<ParkingSlot> free = new ArrayList<>();
+        for (ParkingSlot slot : slots) {
+            if (!occupied[slot.getSlotId()].get()) {
+                free.add(slot);
+            }
+        }
+        free.sort(Comparator.naturalOrder());
+        return free;
+    }
+
+    // Vehicles leave at random to hold occupancy near the target
+    private void releaseIfAboveTarget() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (occupiedCount.get() > slots.size() * TARGET_OCCUPANCY) {
+            int slotId = random.nextInt(slots.size());
+            if (occupied[slotId].compareAndSet(true, false)) {
+                occupiedCount.decrementAndGet();
+            }
+        }
+    }
+
+    public Result run(SlotAllocationStrategy strategy, int gates, long durationMillis,
+                      long claimDelayNanos) throws InterruptedException {
+        for (AtomicBoolean flag : occupied) {
+            flag.set(false);
+        }
+        occupiedCount.set(0);
+
+        LongAdder claims = new LongAdder();
+        LongAdder conflicts = new LongAdder();
+        LongAdder distance = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        for (int g = 0; g < gates; g++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (System.nanoTime() < deadline[0]) {
+                    for (ParkingSlot candidate : strategy.rank(snapshotFreeSlots())) {
+                        if (claimDelayNanos > 0) {
+                            LockSupport.parkNanos(claimDelayNanos);
+                        }
+                        if (occupied[candidate.getSlotId()].compareAndSet(false, true)) {
+                            occupiedCount.incrementAndGet();
+                            claims.increment();
+                            distance.add(candidate.getDistanceFromEntry());
+                            break;
+                        }
+                        conflicts.increment();
+                    }
+                    releaseIfAboveTarget();
+                }
+            });
+        }
+
+        deadline[0] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(durationMillis + 10_000, TimeUnit.MILLISECONDS);
+
+        return new Result(strategy.getName(), claims.sum(), conflicts.sum(), distance.sum(), durationMillis);
+    }
+
+    public static class Result {
+        private final String strategy;
+        private final long claims;
+        private final long conflicts;
+        private final long totalDistance;
+        private final long durationMillis;
+
+        public Result(String strategy, long claims, long conflicts, long totalDistance, long durationMillis) {
+            this.strategy = strategy;
+            this.claims = claims;
+            this.conflicts = conflicts;
+            this.totalDistance = totalDistance;
+            this.durationMillis = durationMillis;
+        }
+
+        // Pools two results so repeated runs report the mean over all of them
+        public Result plus(Result other) {
+            return new Result(strategy, claims + other.claims, conflicts + other.conflicts,
+                              totalDistance + other.totalDistance, durationMillis + other.durationMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s %12.0f %14.4f %12.2f",
+                strategy,
+                claims * 1000.0 / durationMillis,
+                claims > 0 ? (double) conflicts / claims : 0.0,
+                claims > 0 ? (double) totalDistance / claims : 0.0);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int gates = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int floors = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int slotsPerFloor = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        long durationMillis = (args.length > 3 ? Long.parseLong(args[3]) : 3) * 1000;
+        long claimDelayNanos = (args.length > 4 ? Long.parseLong(args[4]) : 200) * 1000;
+        int runs = args.length > 5 ? Integer.parseInt(args[5]) : 3;
+
+        List<SlotAllocationStrategy> strategies = List.of(
+            new NearestSlotStrategy(),
+            new FloorBalancedStrategy(),
+            new CompactPackingStrategy(),
+            new RandomizedTopKStrategy(4),
+            new RandomizedTopKStrategy(16)
+        );
+
+        SlotAllocationBenchmark benchmark = new SlotAllocationBenchmark(floors, slotsPerFloor);
+        System.out.printf("Gates: %d, Floors: %d, Slots per floor: %d, Duration: %ds, Claim delay: %dus, Runs: %d%n",
+                          gates, floors, slotsPerFloor, durationMillis / 1000, claimDelayNanos / 1000, runs);
+
+        // Warm up every strategy so results do not depend on the order they run in
+        for (SlotAllocationStrategy strategy : strategies) {
+            benchmark.run(strategy, gates, Math.min(1000, durationMillis), claimDelayNanos);
+        }
+
+        // Interleave strategies across runs so drift affects them all equally
+        Map<SlotAllocationStrategy, Result> totals = new LinkedHashMap<>();
+        for (int run = 0; run < runs; run++) {
+            for (SlotAllocationStrategy strategy : strategies) {
+                Result result = benchmark.run(strategy, gates, durationMillis, claimDelayNanos);
+                totals.merge(strategy, result, Result::plus);
+            }
+        }
+
+        System.out.printf("%-16s %12s %14s %12s%n", "Strategy", "Claims/sec", "Conflicts/claim", "Avg distance");
+        for (Result result : totals.values()) {
+            System.out.println(result);
+        }
+    }
+}
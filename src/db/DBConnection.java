@@ -22,6 +22,16 @@ public class DBConnection {
         return connection;
     }
     
+    // Opens a dedicated connection for background work; the caller must close it
+    public static Connection openConnection() throws SQLException {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("MySQL driver not found", e);
+        }
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+    
     public static void closeConnection() {
         try {
             if (connection != null && !connection.isClosed()) {
@@ -0,0 +1,39 @@
+package models;
+
+public class SlotMismatch {
+    public enum Type {
+        ORPHANED_OCCUPIED,      // slot marked occupied but no vehicle is parked in it
+        UNMARKED_PARKED,        // vehicle parked in a slot that is marked free
+        DOUBLE_PARKED,          // more than one PARKED log for the same slot
+        UNRELEASED_ASSIGNMENT,  // open assignment with no matching PARKED log
+        MISSING_ASSIGNMENT      // PARKED log with no matching open assignment
+    }
+    
+    private Type type;
+    private int slotId;
+    private String slotNumber;
+    private int count;
+    
+    public SlotMismatch(Type type, int slotId, String slotNumber, int count) {
+        this.type = type;
+        this.slotId = slotId;
+        this.slotNumber = slotNumber;
+        this.count = count;
+    }
+    
+    // Getters
+    public Type getType() { return type; }
+    public int getSlotId() { return slotId; }
+    public String getSlotNumber() { return slotNumber; }
+    public int getCount() { return count; }
+    
+    // Double parking needs someone to decide which vehicle is really there
+    public boolean isRepairable() {
+        return type != Type.DOUBLE_PARKED;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " slot " + slotNumber + " (id " + slotId + ", count " + count + ")";
+    }
+}
@@ -0,0 +1,22 @@
+package services;
+
+import models.ParkingSlot;
+import java.util.*;
+
+// Fills floors in order so that upper floors stay empty and can be closed off
+public class CompactPackingStrategy implements SlotAllocationStrategy {
+
+    @Override
+    public List<ParkingSlot> rank(List<ParkingSlot> availableSlots) {
+        List<ParkingSlot> ranked = new ArrayList<>(availableSlots);
+        ranked.sort(Comparator
+            .comparingInt(ParkingSlot::getFloorId)
+            .thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    @Override
+    public String getName() {
+        return "COMPACT";
+    }
+}
@@ -0,0 +1,335 @@
+package services;
+
+import db.DBConnection;
+import models.SlotMismatch;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Cross-checks parking_slots.is_occupied, PARKED vehicle_logs and open
+ * slot_assignments, which should always agree for every slot.
+ *
+ * The slot_id range is split with fork-join and each partition is scanned on
+ * its own connection, since the shared DBConnection is not safe to use from
+ * several threads. The checker owns a small pool and never holds more than
+ * `parallelism` connections, so it cannot crowd the gates off the server;
+ * call shutdown() when done. Repairs run as short autocommit updates that
+ * re-check the mismatch, so gates can stay online while they run.
+ */
+public class ConsistencyChecker {
+    private static final int DEFAULT_PARALLELISM = 2;
+    private static final int DEFAULT_PARTITION_SIZE = 1000;
+    private static final int DEFAULT_REPAIR_BATCH_SIZE = 50;
+    private static final String DEADLOCK_SQL_STATE = "40001";
+    private static final int MAX_REPAIR_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 50;
+    private static final long BATCH_PAUSE_MILLIS = 20;
+    
+    private final ForkJoinPool pool;
+    private final Semaphore connectionPermits;
+    private final int partitionSize;
+    private final int repairBatchSize;
+    
+    public ConsistencyChecker() {
+        this(DEFAULT_PARALLELISM, DEFAULT_PARTITION_SIZE, DEFAULT_REPAIR_BATCH_SIZE);
+    }
+    
+    public ConsistencyChecker(int parallelism, int partitionSize, int repairBatchSize) {
+        if (parallelism < 1 || partitionSize < 1 || repairBatchSize < 1) {
+            throw new IllegalArgumentException("Parallelism, partition and batch sizes must be at least 1");
+        }
+        // Dedicated pool so blocking JDBC calls never tie up the common pool
+        this.pool = new ForkJoinPool(parallelism);
+        // Fork-join may add compensation threads while joining, so cap connections separately
+        this.connectionPermits = new Semaphore(parallelism);
+        this.partitionSize = partitionSize;
+        this.repairBatchSize = repairBatchSize;
+    }
+    
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    // Scan every slot and return the mismatches ordered by slot id
+    public List<SlotMismatch> check() throws SQLException {
+        int minSlotId;
+        int maxSlotId;
+        try (Connection conn = DBConnection.openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(slot_id), MAX(slot_id) FROM parking_slots")) {
+            rs.next();
+            minSlotId = rs.getInt(1);
+            if (rs.wasNull()) {
+                return new ArrayList<>();
+            }
+            maxSlotId = rs.getInt(2);
+        }
+        
+        List<SlotMismatch> mismatches;
+        try {
+            mismatches = pool.invoke(new CheckTask(minSlotId, maxSlotId));
+        } catch (RuntimeException e) {
+            // Fork-join may rewrap exceptions thrown on other workers
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                }
+            }
+            throw e;
+        }
+        mismatches.sort(Comparator.comparingInt(SlotMismatch::getSlotId));
+        return mismatches;
+    }
+    
+    private class CheckTask extends RecursiveTask<List<SlotMismatch>> {
+        private static final long serialVersionUID = 1L;
+        
+        private final int fromSlotId;
+        private final int toSlotId;
+        
+        CheckTask(int fromSlotId, int toSlotId) {
+            this.fromSlotId = fromSlotId;
+            this.toSlotId = toSlotId;
+        }
+        
+        @Override
+        protected List<SlotMismatch> compute() {
+            if (toSlotId - fromSlotId < partitionSize) {
+                try {
+                    connectionPermits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(new SQLException("Consistency check interrupted", e));
+                }
+                try {
+                    return scanRange(fromSlotId, toSlotId);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    connectionPermits.release();
+                }
+            }
+            
+            int mid = fromSlotId + (toSlotId - fromSlotId) / 2;
+            CheckTask left = new CheckTask(fromSlotId, mid);
+            CheckTask right = new CheckTask(mid + 1, toSlotId);
+            left.fork();
+            List<SlotMismatch> result = right.compute();
+            result.addAll(left.join());
+            return result;
+        }
+    }
+    
+    // A single statement reads all three tables from one consistent snapshot,
+    // so an assignment committed by a gate mid-scan cannot show up half-done
+    private List<SlotMismatch> scanRange(int fromSlotId, int toSlotId) throws SQLException {
+        List<SlotMismatch> mismatches = new ArrayList<>();
+        String query = """
+            SELECT ps.slot_id, ps.slot_number, ps.is_occupied,
+                   (SELECT COUNT(*) FROM vehicle_logs vl
+                    WHERE vl.slot_id = ps.slot_id AND vl.status = 'PARKED') AS parked_count,
+                   (SELECT COUNT(*) FROM slot_assignments sa
+                    WHERE sa.slot_id = ps.slot_id AND sa.released_time IS NULL
+                      AND NOT EXISTS (SELECT 1 FROM vehicle_logs vl
+                                      WHERE vl.slot_id = sa.slot_id AND vl.vehicle_id = sa.vehicle_id
+                                        AND vl.status = 'PARKED')) AS unreleased_count,
+                   (SELECT COUNT(*) FROM vehicle_logs vl
+                    WHERE vl.slot_id = ps.slot_id AND vl.status = 'PARKED'
+                      AND NOT EXISTS (SELECT 1 FROM slot_assignments sa
+                                      WHERE sa.slot_id = vl.slot_id AND sa.vehicle_id = vl.vehicle_id
+                                        AND sa.released_time IS NULL)) AS missing_count
+            FROM parking_slots ps
+            WHERE ps.slot_id BETWEEN ? AND ?
+        """;
+        
+        try (Connection conn = DBConnection.openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setInt(1, fromSlotId);
+            pstmt.setInt(2, toSlotId);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                int slotId = rs.getInt("slot_id");
+                String slotNumber = rs.getString("slot_number");
+                boolean occupied = rs.getBoolean("is_occupied");
+                int parkedCount = rs.getInt("parked_count");
+                int unreleasedCount = rs.getInt("unreleased_count");
+                int missingCount = rs.getInt("missing_count");
+                
+                if (occupied && parkedCount == 0) {
+                    mismatches.add(new SlotMismatch(SlotMismatch.Type.ORPHANED_OCCUPIED, slotId, slotNumber, 1));
+                } else if (!occupied && parkedCount > 0) {
+                    mismatches.add(new SlotMismatch(SlotMismatch.Type.UNMARKED_PARKED, slotId, slotNumber, parkedCount));
+                }
+                if (parkedCount > 1) {
+                    mismatches.add(new SlotMismatch(SlotMismatch.Type.DOUBLE_PARKED, slotId, slotNumber, parkedCount));
+                }
+                if (unreleasedCount > 0) {
+                    mismatches.add(new SlotMismatch(SlotMismatch.Type.UNRELEASED_ASSIGNMENT, slotId, slotNumber, unreleasedCount));
+                }
+                if (missingCount > 0) {
+                    mismatches.add(new SlotMismatch(SlotMismatch.Type.MISSING_ASSIGNMENT, slotId, slotNumber, missingCount));
+                }
+            }
+        }
+        return mismatches;
+    }
+    
+    /**
+     * Repairs the given mismatches in batches of repairBatchSize. Every guarded
+     * update runs as its own autocommit statement, so row locks are held only
+     * for that statement and anything a gate fixed in the meantime is left
+     * alone. Deadlocks with gate transactions are retried; a mismatch that
+     * still fails is reported and skipped. DOUBLE_PARKED is report-only.
+     * Returns the number of rows changed.
+     */
+    public int repair(List<SlotMismatch> mismatches) throws SQLException {
+        List<SlotMismatch> repairable = new ArrayList<>();
+        for (SlotMismatch mismatch : mismatches) {
+            if (mismatch.isRepairable()) {
+                repairable.add(mismatch);
+            }
+        }
+        
+        String freeSlotQuery = """
+            UPDATE parking_slots ps SET ps.is_occupied = FALSE
+            WHERE ps.slot_id = ? AND ps.is_occupied = TRUE
+              AND NOT EXISTS (SELECT 1 FROM vehicle_logs vl
+                              WHERE vl.slot_id = ps.slot_id AND vl.status = 'PARKED')
+        """;
+        String occupySlotQuery = """
+            UPDATE parking_slots ps SET ps.is_occupied = TRUE
+            WHERE ps.slot_id = ? AND ps.is_occupied = FALSE
+              AND EXISTS (SELECT 1 FROM vehicle_logs vl
+                          WHERE vl.slot_id = ps.slot_id AND vl.status = 'PARKED')
+        """;
+        // Close the audit trail at the vehicle's real exit, not at repair time
+        String releaseAssignmentQuery = """
+            UPDATE slot_assignments sa
+            SET sa.released_time = COALESCE(
+                (SELECT MIN(vl.exit_time) FROM vehicle_logs vl
+                 WHERE vl.slot_id = sa.slot_id AND vl.vehicle_id = sa.vehicle_id
+                   AND vl.exit_time >= sa.assigned_time), ?)
+            WHERE sa.slot_id = ? AND sa.released_time IS NULL
+              AND NOT EXISTS (SELECT 1 FROM vehicle_logs vl
+                              WHERE vl.slot_id = sa.slot_id AND vl.vehicle_id = sa.vehicle_id
+                                AND vl.status = 'PARKED')
+        """;
+        // Reopen the assignment from the time the vehicle actually entered
+        String createAssignmentQuery = """
+            INSERT INTO slot_assignments (vehicle_id, slot_id, assigned_time)
+            SELECT vl.vehicle_id, vl.slot_id, vl.entry_time
+            FROM vehicle_logs vl
+            WHERE vl.slot_id = ? AND vl.status = 'PARKED'
+              AND NOT EXISTS (SELECT 1 FROM slot_assignments sa
+                              WHERE sa.slot_id = vl.slot_id AND sa.vehicle_id = vl.vehicle_id
+                                AND sa.released_time IS NULL)
+        """;
+        
+        int repaired = 0;
+        try (Connection conn = DBConnection.openConnection();
+             PreparedStatement freeSlot = conn.prepareStatement(freeSlotQuery);
+             PreparedStatement occupySlot = conn.prepareStatement(occupySlotQuery);
+             PreparedStatement releaseAssignment = conn.prepareStatement(releaseAssignmentQuery);
+             PreparedStatement createAssignment = conn.prepareStatement(createAssignmentQuery)) {
+            conn.setAutoCommit(true);
+            
+            for (int start = 0; start < repairable.size(); start += repairBatchSize) {
+                if (start > 0 && !pauseBetweenBatches()) {
+                    break;
+                }
+                
+                int end = Math.min(start + repairBatchSize, repairable.size());
+                for (SlotMismatch mismatch : repairable.subList(start, end)) {
+                    PreparedStatement pstmt;
+                    switch (mismatch.getType()) {
+                        case ORPHANED_OCCUPIED:
+                            pstmt = freeSlot;
+                            pstmt.setInt(1, mismatch.getSlotId());
+                            break;
+                        case UNMARKED_PARKED:
+                            pstmt = occupySlot;
+                            pstmt.setInt(1, mismatch.getSlotId());
+                            break;
+                        case UNRELEASED_ASSIGNMENT:
+                            pstmt = releaseAssignment;
+                            pstmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                            pstmt.setInt(2, mismatch.getSlotId());
+                            break;
+                        case MISSING_ASSIGNMENT:
+                            pstmt = createAssignment;
+                            pstmt.setInt(1, mismatch.getSlotId());
+                            break;
+                        default:
+                            continue;
+                    }
+                    
+                    try {
+                        repaired += executeWithRetry(pstmt);
+                    } catch (SQLException e) {
+                        System.err.println("Could not repair " + mismatch + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return repaired;
+    }
+    
+    // Gates take vehicle_logs and parking_slots locks in different orders, so a
+    // guarded update can deadlock with them; InnoDB rolls it back and we retry
+    private int executeWithRetry(PreparedStatement pstmt) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pstmt.executeUpdate();
+            } catch (SQLException e) {
+                if (!DEADLOCK_SQL_STATE.equals(e.getSQLState()) || attempt >= MAX_REPAIR_ATTEMPTS) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    // Give gate traffic a gap between batches; returns false if interrupted
+    private boolean pauseBetweenBatches() {
+        try {
+            Thread.sleep(BATCH_PAUSE_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    // Usage: java -cp "bin:lib/*" services.ConsistencyChecker [--repair]
+    public static void main(String[] args) {
+        boolean repair = args.length > 0 && "--repair".equals(args[0]);
+        ConsistencyChecker checker = new ConsistencyChecker();
+        
+        try {
+            List<SlotMismatch> mismatches = checker.check();
+            System.out.println("Found " + mismatches.size() + " mismatch(es)");
+            for (SlotMismatch mismatch : mismatches) {
+                System.out.println("  " + mismatch);
+            }
+            
+            if (repair && !mismatches.isEmpty()) {
+                int repaired = checker.repair(mismatches);
+                System.out.println("Repaired " + repaired + " row(s)");
+            }
+        } catch (SQLException e) {
+            System.err.println("Consistency check failed: " + e.getMessage());
+        } finally {
+            checker.shutdown();
+        }
+    }
+}
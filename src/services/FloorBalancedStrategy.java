@@ -0,0 +1,28 @@
+package services;
+
+import models.ParkingSlot;
+import java.util.*;
+
+// Prefers the floor with the most free slots, nearest slot first within a floor
+public class FloorBalancedStrategy implements SlotAllocationStrategy {
+
+    @Override
+    public List<ParkingSlot> rank(List<ParkingSlot> availableSlots) {
+        Map<Integer, Integer> freePerFloor = new HashMap<>();
+        for (ParkingSlot slot : availableSlots) {
+            freePerFloor.merge(slot.getFloorId(), 1, Integer::sum);
+        }
+
+        List<ParkingSlot> ranked = new ArrayList<>(availableSlots);
+        ranked.sort(Comparator
+            .comparingInt((ParkingSlot s) -> -freePerFloor.get(s.getFloorId()))
+            .thenComparingInt(ParkingSlot::getFloorId)
+            .thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    @Override
+    public String getName() {
+        return "FLOOR_BALANCED";
+    }
+}
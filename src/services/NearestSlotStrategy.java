@@ -0,0 +1,23 @@
+package services;
+
+import models.ParkingSlot;
+import java.util.*;
+
+// Greedy nearest-first allocation using PriorityQueue (min-heap)
+public class NearestSlotStrategy implements SlotAllocationStrategy {
+
+    @Override
+    public List<ParkingSlot> rank(List<ParkingSlot> availableSlots) {
+        PriorityQueue<ParkingSlot> heap = new PriorityQueue<>(availableSlots);
+        List<ParkingSlot> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll());
+        }
+        return ranked;
+    }
+
+    @Override
+    public String getName() {
+        return "NEAREST";
+    }
+}
@@ -10,11 +10,22 @@ import java.util.*;
 
 public class ParkingManager {
     private Connection conn;
+    private final SlotAllocationStrategy defaultStrategy = new NearestSlotStrategy();
+    private final Map<Integer, SlotAllocationStrategy> strategiesByType = new HashMap<>();
     
     public ParkingManager() {
         this.conn = DBConnection.getConnection();
     }
     
+    // Select the allocation strategy used for a vehicle type (defaults to nearest)
+    public void setAllocationStrategy(int vehicleTypeId, SlotAllocationStrategy strategy) {
+        strategiesByType.put(vehicleTypeId, strategy);
+    }
+    
+    public SlotAllocationStrategy getAllocationStrategy(int vehicleTypeId) {
+        return strategiesByType.getOrDefault(vehicleTypeId, defaultStrategy);
+    }
+    
     // Get vehicle ID by number, create if doesn't exist
     private int getOrCreateVehicle(String vehicleNumber, int typeId) throws SQLException {
         String query = "SELECT vehicle_id FROM vehicles WHERE vehicle_number = ?";
@@ -43,7 +54,7 @@ public class ParkingManager {
         throw new SQLException("Failed to get or create vehicle");
     }
     
-    // Assign nearest available slot using PriorityQueue (min-heap)
+    // Assign a free slot chosen by the strategy configured for this vehicle type
     public String assignSlot(String vehicleNumber, int vehicleTypeId) {
         try {
             // Check if vehicle is already parked
@@ -51,35 +62,43 @@ public class ParkingManager {
                 return "Vehicle " + vehicleNumber + " is already parked!";
             }
             
-            // Get available slots for this vehicle type
-            PriorityQueue<ParkingSlot> availableSlots = getAvailableSlots(vehicleTypeId);
+            // Get available slots for this vehicle type, in strategy preference order
+            List<ParkingSlot> candidates = getAllocationStrategy(vehicleTypeId).rank(getAvailableSlots(vehicleTypeId));
             
-            if (availableSlots.isEmpty()) {
+            if (candidates.isEmpty()) {
                 return "No available slots for this vehicle type!";
             }
             
-            // Get nearest slot (min-heap automatically gives us the nearest)
-            ParkingSlot nearestSlot = availableSlots.poll();
-            
             // Start transaction
             conn.setAutoCommit(false);
             
             try {
-                // Mark slot as occupied
-                markSlotOccupied(nearestSlot.getSlotId(), true);
+                // Claim the first candidate another gate has not taken since we read it
+                ParkingSlot claimedSlot = null;
+                for (ParkingSlot candidate : candidates) {
+                    if (claimSlot(candidate.getSlotId())) {
+                        claimedSlot = candidate;
+                        break;
+                    }
+                }
+                
+                if (claimedSlot == null) {
+                    conn.rollback();
+                    return "No available slots for this vehicle type!";
+                }
                 
                 // Get or create vehicle
                 int vehicleId = getOrCreateVehicle(vehicleNumber, vehicleTypeId);
                 
                 // Create entry log
-                createEntryLog(vehicleId, nearestSlot.getSlotId());
+                createEntryLog(vehicleId, claimedSlot.getSlotId());
                 
                 // Create slot assignment record
-                createSlotAssignment(vehicleId, nearestSlot.getSlotId());
+                createSlotAssignment(vehicleId, claimedSlot.getSlotId());
                 
                 conn.commit();
-                return "Vehicle " + vehicleNumber + " assigned to slot " + nearestSlot.getSlotNumber() + 
-                       " (Distance: " + nearestSlot.getDistanceFromEntry() + "m)";
+                return "Vehicle " + vehicleNumber + " assigned to slot " + claimedSlot.getSlotNumber() + 
+                       " (Distance: " + claimedSlot.getDistanceFromEntry() + "m)";
                        
             } catch (Exception e) {
                 conn.rollback();
@@ -160,8 +179,8 @@ public class ParkingManager {
     }
     
     // Helper methods
-    private PriorityQueue<ParkingSlot> getAvailableSlots(int vehicleTypeId) throws SQLException {
-        PriorityQueue<ParkingSlot> slots = new PriorityQueue<>();
+    private List<ParkingSlot> getAvailableSlots(int vehicleTypeId) throws SQLException {
+        List<ParkingSlot> slots = new ArrayList<>();
         
         String query = """
             SELECT slot_id, slot_number, distance_from_entry, is_occupied, floor_id, type_id 
@@ -203,6 +222,15 @@ public class ParkingManager {
         }
     }
     
+    // Conditional update so two gates can never both take the same slot
+    private boolean claimSlot(int slotId) throws SQLException {
+        String query = "UPDATE parking_slots SET is_occupied = TRUE WHERE slot_id = ? AND is_occupied = FALSE";
+        try (PreparedStatement pstmt = conn.prepareStatement(query)) {
+            pstmt.setInt(1, slotId);
+            return pstmt.executeUpdate() == 1;
+        }
+    }
+    
     private void markSlotOccupied(int slotId, boolean occupied) throws SQLException {
         String query = "UPDATE parking_slots SET is_occupied = ? WHERE slot_id = ?";
         try (PreparedStatement pstmt = conn.prepareStatement(query)) {
@@ -0,0 +1,32 @@
+package services;
+
+import models.ParkingSlot;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shuffles the k nearest slots so that concurrent gates rarely race for the
+ * same one. Walking distance grows by at most the spread of the top k.
+ */
+public class RandomizedTopKStrategy implements SlotAllocationStrategy {
+    private final int k;
+
+    public RandomizedTopKStrategy(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        this.k = k;
+    }
+
+    @Override
+    public List<ParkingSlot> rank(List<ParkingSlot> availableSlots) {
+        List<ParkingSlot> ranked = new NearestSlotStrategy().rank(availableSlots);
+        Collections.shuffle(ranked.subList(0, Math.min(k, ranked.size())), ThreadLocalRandom.current());
+        return ranked;
+    }
+
+    @Override
+    public String getName() {
+        return "RANDOM_TOP_" + k;
+    }
+}
@@ -0,0 +1,18 @@
+package services;
+
+import models.ParkingSlot;
+import java.util.List;
+
+/**
+ * Decides the order in which free slots are tried when a vehicle enters.
+ * ParkingManager claims the first slot in the returned order that is still
+ * free, so later entries only matter when an earlier one was taken by
+ * another gate in the meantime.
+ */
+public interface SlotAllocationStrategy {
+
+    // Candidates arrive sorted by distance from entry (nearest first)
+    List<ParkingSlot> rank(List<ParkingSlot> availableSlots);
+
+    String getName();
+}